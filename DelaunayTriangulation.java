@@ -0,0 +1,953 @@
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Class models the Delaunay triangulation of a set of Point2Ds, built by incremental insertion
+ * @author James Talbott
+ */
+public class DelaunayTriangulation extends PlanarObject {
+
+  /**
+   * Constant marks the vertex at infinity shared by every ghost triangle outside the convex hull
+   */
+  private static final int INFINITE = -1;
+
+  /**
+   * Constant stores half of a double's machine epsilon, the unit roundoff used in the predicate error bounds
+   */
+  private static final double EPSILON = Math.ulp(1.0) / 2;
+
+  /**
+   * Constant bounds the floating-point error of the orientation determinant relative to its magnitude
+   */
+  private static final double ORIENT_BOUND = (3.0 + 16.0 * EPSILON) * EPSILON;
+
+  /**
+   * Constant bounds the floating-point error of the incircle determinant relative to its magnitude
+   */
+  private static final double INCIRCLE_BOUND = (10.0 + 96.0 * EPSILON) * EPSILON;
+
+  /**
+   * Constant stores the smallest insertion round worth splitting off when ordering a batch of Point2Ds
+   */
+  private static final int MIN_ROUND = 64;
+
+  /**
+   * Constant stores the number of bits per axis used to place Point2Ds along the Hilbert curve
+   */
+  private static final int HILBERT_BITS = 15;
+
+  /**
+   * Constant seeds the shuffle of each batch so that a given input always produces the same triangulation
+   */
+  private static final long SEED = 0x5DEECE66DL;
+
+  /**
+   * Field stores the coordinates of every vertex as consecutive x, y pairs, in the order the vertices are
+   * inserted so that vertices inserted together sit together in memory
+   */
+  private double[] coords;
+
+  /**
+   * Field maps each vertex's position in the coords array to the vertex index handed out to callers
+   */
+  private int[] label;
+
+  /**
+   * Field maps each vertex index handed out to callers to the vertex's position in the coords array
+   */
+  private int[] position;
+
+  /**
+   * Field stores the number of vertices inserted so far
+   */
+  private int vertexCount;
+
+  /**
+   * Field stores the origin vertex of each half-edge; half-edges 3t, 3t + 1 and 3t + 2 bound triangle t
+   * counterclockwise
+   */
+  private int[] origin;
+
+  /**
+   * Field stores the oppositely directed half-edge sharing each half-edge's endpoints
+   */
+  private int[] twin;
+
+  /**
+   * Field stores the number of triangles, both finite and ghost, in use
+   */
+  private int triangleCount;
+
+  /**
+   * Field stores the number of ghost triangles, which equals the number of edges on the convex hull
+   */
+  private int ghostCount;
+
+  /**
+   * Field stores the triangle from which the next point location walk starts
+   */
+  private int hint;
+
+  /**
+   * Field stores, for each vertex, a triangle having it as a corner, or -1 if the vertex is not yet part of the
+   * triangulation
+   */
+  private int[] vertexTriangle;
+
+  /**
+   * Field stores, for each bucket of a coarse grid over the triangulated vertices, a vertex lying in that bucket,
+   * or -1 if none is known
+   */
+  private int[] bucketVertex = new int[0];
+
+  /**
+   * Field stores the lower x bound of the bucket grid
+   */
+  private double bucketMinX;
+
+  /**
+   * Field stores the lower y bound of the bucket grid
+   */
+  private double bucketMinY;
+
+  /**
+   * Field stores the side length of a square bucket
+   */
+  private double bucketSide;
+
+  /**
+   * Field stores the number of bucket columns
+   */
+  private int bucketColumns;
+
+  /**
+   * Field stores the number of bucket rows
+   */
+  private int bucketRows;
+
+  /**
+   * Field stores the vertex count at which the bucket grid is next rebuilt
+   */
+  private int bucketLimit;
+
+  /**
+   * Field supplies the vertices sampled when choosing where a streamed insertion starts its walk
+   */
+  private Random sampler = new Random(SEED);
+
+  /**
+   * Field stores one bit per triangle, set while the triangle belongs to the cavity being retriangulated
+   */
+  private long[] inCavity;
+
+  /**
+   * Field stores the triangles awaiting a conflict test during cavity growth
+   */
+  private int[] stack = new int[16];
+
+  /**
+   * Field stores the triangles removed by the current insertion, then the triangles that replace them
+   */
+  private int[] cavity = new int[16];
+
+  /**
+   * Field stores the half-edges bounding the current cavity
+   */
+  private int[] boundary = new int[16];
+
+  /**
+   * Field stores the start vertex of each cavity boundary edge
+   */
+  private int[] boundaryStart = new int[16];
+
+  /**
+   * Field stores the end vertex of each cavity boundary edge
+   */
+  private int[] boundaryEnd = new int[16];
+
+  /**
+   * Field stores, for each vertex shifted by one, the new half-edge running from the inserted vertex to it
+   */
+  private int[] fan;
+
+  /**
+   * Field stores the vertices inserted before any three of them were found to be non-collinear
+   */
+  private int[] pending = new int[16];
+
+  /**
+   * Field stores the number of vertices waiting in the pending array
+   */
+  private int pendingCount;
+
+  /**
+   * Field stores the first pending vertex that does not coincide with the first pending vertex, or -1 if none
+   */
+  private int pendingSecond = -1;
+
+  /**
+   * Constructor initializes an empty DelaunayTriangulation
+   */
+  public DelaunayTriangulation() {
+    coords = new double[32];
+    label = new int[16];
+    position = new int[16];
+    vertexTriangle = new int[16];
+    Arrays.fill(vertexTriangle, -1);
+    fan = new int[17];
+    origin = new int[48];
+    twin = new int[48];
+    inCavity = new long[1];
+  }
+
+  /**
+   * Constructor initializes the DelaunayTriangulation of an array of Point2Ds
+   * @param points - the Point2Ds to triangulate, which receive vertex indices in array order
+   */
+  public DelaunayTriangulation(Point2D[] points) {
+    this();
+    insertAll(points);
+  }
+
+  /**
+   * Method inserts a single Point2D, restoring the Delaunay property around it. The search for the triangle
+   * containing the Point2D starts from a vertex in the same bucket of a coarse grid, rebuilt whenever the vertex
+   * count doubles, so for points spread evenly over the triangulated region an insertion costs expected O(1)
+   * amortized regardless of arrival order. Where the bucket is empty or the Point2D lies outside the grid, the
+   * search starts at the nearest of about n^(1/3) randomly sampled vertices instead, costing expected O(n^(1/3)).
+   * Batches known in advance are still cheaper through insertAll, whose spatial ordering keeps memory access
+   * local.
+   * @param p - the Point2D to insert
+   * @return the vertex index assigned to the Point2D
+   * @throws IllegalArgumentException if either coordinate of the Point2D is NaN or infinite
+   */
+  public int insert(Point2D p) {
+    requireFinite(p);
+    int id = addVertex(p);
+    if (triangleCount == 0) {
+      insertVertex(id);
+      return id;
+    }
+    if (id >= bucketLimit)
+      rebuildBuckets();
+    int bucket = bucketOf(id);
+    if (bucket >= 0 && bucketVertex[bucket] >= 0)
+      hint = vertexTriangle[bucketVertex[bucket]];
+    else
+      hint = nearestSampledTriangle(id);
+    insertVertex(id);
+    if (bucket >= 0 && vertexTriangle[id] >= 0)
+      bucketVertex[bucket] = id;
+    return id;
+  }
+
+  /**
+   * Method inserts an array of Point2Ds in biased randomized order, sorting each round along a Hilbert curve so
+   * that consecutive insertions land close together
+   * @param points - the Point2Ds to insert, which receive consecutive vertex indices in array order
+   * @throws IllegalArgumentException if either coordinate of any Point2D is NaN or infinite, in which case none
+   * of the Point2Ds are inserted
+   */
+  public void insertAll(Point2D[] points) {
+    for (Point2D p : points)
+      requireFinite(p);
+    int first = vertexCount;
+    ensureVertexCapacity(first + points.length);
+    ensureTriangleCapacity(2 * (first + points.length) + 2);
+    int[] order = insertionOrder(points);
+    for (int i = 0; i < order.length; i++) {
+      int v = first + i;
+      coords[2 * v] = points[order[i]].getX();
+      coords[2 * v + 1] = points[order[i]].getY();
+      label[v] = first + order[i];
+      position[first + order[i]] = v;
+    }
+    vertexCount += points.length;
+    for (int v = first; v < vertexCount; v++)
+      insertVertex(v);
+  }
+
+  /**
+   * Method returns the number of vertices inserted so far, including any that coincide with earlier vertices
+   * @return the number of inserted Point2Ds
+   */
+  public int getVertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * Method returns an inserted vertex
+   * @param i - the index of the vertex
+   * @return a Point2D at the vertex's coordinates
+   */
+  public Point2D getVertex(int i) {
+    if (i < 0 || i >= vertexCount)
+      throw new IndexOutOfBoundsException("Vertex " + i + " out of range for " + vertexCount + " vertices");
+    return new Point2D(coords[2 * position[i]], coords[2 * position[i] + 1]);
+  }
+
+  /**
+   * Method returns the number of finite triangles in the triangulation
+   * @return the number of triangles, which is zero until three non-collinear Point2Ds have been inserted
+   */
+  public int getTriangleCount() {
+    return triangleCount - ghostCount;
+  }
+
+  /**
+   * Method returns the triangles of the triangulation. Vertices that coincide with an earlier vertex are not
+   * referenced by any triangle.
+   * @return an array holding three counterclockwise vertex indices per triangle
+   */
+  public int[] getTriangles() {
+    int[] triangles = new int[3 * getTriangleCount()];
+    int n = 0;
+    for (int t = 0; t < triangleCount; t++) {
+      if (isGhost(t))
+        continue;
+      triangles[n++] = label[origin[3 * t]];
+      triangles[n++] = label[origin[3 * t + 1]];
+      triangles[n++] = label[origin[3 * t + 2]];
+    }
+    return triangles;
+  }
+
+  /**
+   * Method rejects a Point2D that the orientation and incircle predicates cannot evaluate
+   * @param p - the Point2D under consideration
+   * @throws IllegalArgumentException if either coordinate of the Point2D is NaN or infinite
+   */
+  private static void requireFinite(Point2D p) {
+    if (!Double.isFinite(p.getX()) || !Double.isFinite(p.getY()))
+      throw new IllegalArgumentException("Cannot triangulate non-finite Point2D " + p);
+  }
+
+  /**
+   * Method stores the coordinates of a Point2D as a new vertex
+   * @param p - the Point2D to store
+   * @return the index of the new vertex
+   */
+  private int addVertex(Point2D p) {
+    ensureVertexCapacity(vertexCount + 1);
+    coords[2 * vertexCount] = p.getX();
+    coords[2 * vertexCount + 1] = p.getY();
+    label[vertexCount] = vertexCount;
+    position[vertexCount] = vertexCount;
+    return vertexCount++;
+  }
+
+  /**
+   * Method adds a stored vertex to the triangulation using the Bowyer-Watson algorithm: every triangle whose
+   * circumcircle contains the vertex is removed and the resulting cavity is refilled with a fan around it
+   * @param id - the index of the vertex to add
+   */
+  private void insertVertex(int id) {
+    if (triangleCount == 0) {
+      addPending(id);
+      return;
+    }
+    int start = locate(id);
+    if (start < 0)
+      return;
+
+    //grow the cavity outward from the triangle containing the vertex
+    int cavitySize = 0;
+    int boundarySize = 0;
+    int stackSize = 0;
+    int ghostsRemoved = 0;
+    mark(start);
+    stack[stackSize++] = start;
+    while (stackSize > 0) {
+      int t = stack[--stackSize];
+      if (cavitySize == cavity.length)
+        cavity = Arrays.copyOf(cavity, 2 * cavitySize);
+      cavity[cavitySize++] = t;
+      if (isGhost(t))
+        ghostsRemoved++;
+      for (int e = 3 * t; e < 3 * t + 3; e++) {
+        int n = twin[e] / 3;
+        if (isMarked(n))
+          continue;
+        if (inConflict(n, id)) {
+          mark(n);
+          if (stackSize == stack.length)
+            stack = Arrays.copyOf(stack, 2 * stackSize);
+          stack[stackSize++] = n;
+        }
+        else {
+          if (boundarySize == boundary.length)
+            growBoundary();
+          boundary[boundarySize++] = e;
+        }
+      }
+    }
+
+    //record the boundary before the cavity's slots are overwritten
+    int ghostsAdded = 0;
+    for (int i = 0; i < boundarySize; i++) {
+      int e = boundary[i];
+      boundaryStart[i] = origin[e];
+      boundaryEnd[i] = origin[next(e)];
+      boundary[i] = twin[e];
+      if (boundaryStart[i] == INFINITE || boundaryEnd[i] == INFINITE)
+        ghostsAdded++;
+    }
+    for (int i = 0; i < cavitySize; i++)
+      unmark(cavity[i]);
+
+    //fill the cavity with one triangle per boundary edge, reusing the removed triangles' slots first
+    ensureTriangleCapacity(triangleCount + boundarySize - cavitySize);
+    if (cavity.length < boundarySize)
+      cavity = Arrays.copyOf(cavity, boundarySize);
+    for (int i = 0; i < boundarySize; i++) {
+      int t = i < cavitySize ? cavity[i] : triangleCount++;
+      cavity[i] = t;
+      int e = 3 * t;
+      origin[e] = boundaryStart[i];
+      origin[e + 1] = boundaryEnd[i];
+      origin[e + 2] = id;
+      twin[e] = boundary[i];
+      twin[boundary[i]] = e;
+      fan[boundaryStart[i] + 1] = e + 2;
+      if (boundaryStart[i] != INFINITE)
+        vertexTriangle[boundaryStart[i]] = t;
+    }
+    for (int i = 0; i < boundarySize; i++) {
+      int e = 3 * cavity[i] + 1;
+      int partner = fan[boundaryEnd[i] + 1];
+      twin[e] = partner;
+      twin[partner] = e;
+    }
+    ghostCount += ghostsAdded - ghostsRemoved;
+    vertexTriangle[id] = cavity[boundarySize - 1];
+    hint = cavity[boundarySize - 1];
+  }
+
+  /**
+   * Method lays a grid of about one bucket per two triangulated vertices over their bounding box and files one
+   * vertex under each bucket that holds any
+   */
+  private void rebuildBuckets() {
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    int known = 0;
+    for (int v = 0; v < vertexCount; v++) {
+      if (vertexTriangle[v] < 0)
+        continue;
+      known++;
+      minX = Math.min(minX, coords[2 * v]);
+      minY = Math.min(minY, coords[2 * v + 1]);
+      maxX = Math.max(maxX, coords[2 * v]);
+      maxY = Math.max(maxY, coords[2 * v + 1]);
+    }
+    bucketLimit = 2 * vertexCount;
+    bucketMinX = minX;
+    bucketMinY = minY;
+    //keep a long, thin set from producing more buckets along one side than there are vertices
+    bucketSide = Math.max(Math.sqrt((maxX - minX) * (maxY - minY) / Math.max(1, known / 2)),
+                          Math.max(maxX - minX, maxY - minY) / known);
+    if (!(bucketSide > 0)) {
+      bucketVertex = new int[0];
+      bucketColumns = bucketRows = 0;
+      return;
+    }
+    bucketColumns = (int) Math.ceil((maxX - minX) / bucketSide) + 1;
+    bucketRows = (int) Math.ceil((maxY - minY) / bucketSide) + 1;
+    bucketVertex = new int[bucketColumns * bucketRows];
+    Arrays.fill(bucketVertex, -1);
+    for (int v = 0; v < vertexCount; v++) {
+      if (vertexTriangle[v] < 0)
+        continue;
+      bucketVertex[bucketOf(v)] = v;
+    }
+  }
+
+  /**
+   * Method returns the bucket of the grid holding a vertex
+   * @param v - the index of the vertex
+   * @return the bucket's index, or -1 if the vertex lies outside the grid
+   */
+  private int bucketOf(int v) {
+    if (bucketVertex.length == 0)
+      return -1;
+    double column = (coords[2 * v] - bucketMinX) / bucketSide;
+    double row = (coords[2 * v + 1] - bucketMinY) / bucketSide;
+    if (!(column >= 0 && column < bucketColumns && row >= 0 && row < bucketRows))
+      return -1;
+    return (int) row * bucketColumns + (int) column;
+  }
+
+  /**
+   * Method picks where to start locating a vertex by sampling vertices already in the triangulation, along with
+   * a corner of the hint triangle, and keeping whichever lies closest to the vertex
+   * @param id - the index of the vertex about to be located
+   * @return a triangle having the closest sampled vertex as a corner
+   */
+  private int nearestSampledTriangle(int id) {
+    double x = coords[2 * id];
+    double y = coords[2 * id + 1];
+    int best = hint;
+    int corner = origin[3 * hint] != INFINITE ? origin[3 * hint] : origin[3 * hint + 1];
+    double bestDistance = squaredDistance(corner, x, y);
+    int samples = (int) Math.cbrt(id);
+    for (int i = 0; i < samples; i++) {
+      int v = sampler.nextInt(id);
+      if (vertexTriangle[v] < 0)
+        continue;
+      double distance = squaredDistance(v, x, y);
+      if (distance < bestDistance) {
+        bestDistance = distance;
+        best = vertexTriangle[v];
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Method returns the squared distance from a vertex to a coordinate pair
+   * @param v - the index of the vertex
+   * @param x - the x-coordinate under consideration
+   * @param y - the y-coordinate under consideration
+   * @return the square of the distance between them
+   */
+  private double squaredDistance(int v, double x, double y) {
+    double dx = coords[2 * v] - x;
+    double dy = coords[2 * v + 1] - y;
+    return dx * dx + dy * dy;
+  }
+
+  /**
+   * Method walks from the hint triangle toward a vertex, crossing any edge the vertex lies strictly beyond
+   * @param id - the index of the vertex to locate
+   * @return a finite triangle whose closure contains the vertex, a ghost triangle whose hull edge the vertex lies
+   * strictly outside of, or -1 if the vertex coincides with an existing vertex
+   */
+  private int locate(int id) {
+    int t = hint;
+    if (isGhost(t))
+      t = twin[3 * t + finiteEdge(t)] / 3;
+    int entry = -1;
+    boolean moved = true;
+    while (moved) {
+      moved = false;
+      for (int e = 3 * t; e < 3 * t + 3; e++) {
+        if (e != entry && orient(origin[e], origin[next(e)], id) < 0) {
+          entry = twin[e];
+          t = entry / 3;
+          if (isGhost(t))
+            return t;
+          moved = true;
+          break;
+        }
+      }
+    }
+    for (int e = 3 * t; e < 3 * t + 3; e++)
+      if (coincide(origin[e], id))
+        return -1;
+    return t;
+  }
+
+  /**
+   * Method returns whether a vertex lies inside a triangle's circumcircle. For a ghost triangle the circumcircle
+   * is taken to be the open half-plane beyond its hull edge together with the open hull edge itself.
+   * @param t - the triangle under consideration
+   * @param id - the index of the vertex under consideration
+   * @return whether the triangle must be removed when the vertex is inserted
+   */
+  private boolean inConflict(int t, int id) {
+    int a = origin[3 * t];
+    int b = origin[3 * t + 1];
+    int c = origin[3 * t + 2];
+    if (a == INFINITE)
+      return beyondHullEdge(b, c, id);
+    else if (b == INFINITE)
+      return beyondHullEdge(c, a, id);
+    else if (c == INFINITE)
+      return beyondHullEdge(a, b, id);
+    else
+      return incircle(a, b, c, id) > 0;
+  }
+
+  /**
+   * Method returns whether a vertex lies in the circumcircle of the ghost triangle on a hull edge
+   * @param a - the start of the hull edge, which has the exterior of the hull on its left
+   * @param b - the end of the hull edge
+   * @param id - the index of the vertex under consideration
+   * @return whether the vertex lies left of the edge or strictly between its endpoints
+   */
+  private boolean beyondHullEdge(int a, int b, int id) {
+    int side = orient(a, b, id);
+    if (side != 0)
+      return side > 0;
+    //the points are collinear, so comparing a single coordinate on which a and b differ is exact
+    int axis = coords[2 * a] != coords[2 * b] ? 0 : 1;
+    double lo = Math.min(coords[2 * a + axis], coords[2 * b + axis]);
+    double hi = Math.max(coords[2 * a + axis], coords[2 * b + axis]);
+    double p = coords[2 * id + axis];
+    return lo < p && p < hi;
+  }
+
+  /**
+   * Method holds a vertex back until three non-collinear vertices exist, then builds the first triangle and
+   * inserts everything held back
+   * @param id - the index of the vertex to hold back
+   */
+  private void addPending(int id) {
+    if (pendingCount > 0 && pendingSecond < 0 && coincide(pending[0], id))
+      return;
+    if (pendingCount < 2 || orient(pending[0], pendingSecond, id) == 0) {
+      if (pendingCount > 0 && pendingSecond < 0)
+        pendingSecond = id;
+      if (pendingCount == pending.length)
+        pending = Arrays.copyOf(pending, 2 * pendingCount);
+      pending[pendingCount++] = id;
+      return;
+    }
+    int a = pending[0];
+    int b = pendingSecond;
+    if (orient(a, b, id) > 0)
+      createFirstTriangle(a, b, id);
+    else
+      createFirstTriangle(b, a, id);
+    int[] held = pending;
+    int heldCount = pendingCount;
+    pending = null;
+    pendingCount = 0;
+    for (int i = 1; i < heldCount; i++)
+      if (held[i] != b)
+        insertVertex(held[i]);
+  }
+
+  /**
+   * Method builds a single finite triangle surrounded by the three ghost triangles on its edges
+   * @param a - the first vertex, in counterclockwise order
+   * @param b - the second vertex
+   * @param c - the third vertex
+   */
+  private void createFirstTriangle(int a, int b, int c) {
+    ensureTriangleCapacity(4);
+    int[] vertices = {a, b, c, b, a, INFINITE, c, b, INFINITE, a, c, INFINITE};
+    System.arraycopy(vertices, 0, origin, 0, 12);
+    //each finite edge faces the hull edge of its ghost triangle, and neighbouring ghosts share an edge to infinity
+    int[] twins = {3, 6, 9, 0, 11, 7, 1, 5, 10, 2, 8, 4};
+    System.arraycopy(twins, 0, twin, 0, 12);
+    triangleCount = 4;
+    ghostCount = 3;
+    hint = 0;
+    vertexTriangle[a] = vertexTriangle[b] = vertexTriangle[c] = 0;
+  }
+
+  /**
+   * Method orders a batch of Point2Ds for insertion. The batch is sorted once along a Hilbert curve and then
+   * split, keeping that order, into rounds that each hold about half of what remains, with round membership
+   * drawn from a seeded random source; smaller rounds are inserted first.
+   * @param points - the Point2Ds to order
+   * @return indices into the input array in insertion order
+   */
+  private static int[] insertionOrder(Point2D[] points) {
+    int count = points.length;
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    for (Point2D p : points) {
+      minX = Math.min(minX, p.getX());
+      minY = Math.min(minY, p.getY());
+      maxX = Math.max(maxX, p.getX());
+      maxY = Math.max(maxY, p.getY());
+    }
+    double extent = Math.max(maxX - minX, maxY - minY);
+    double scale = extent > 0 ? ((1 << HILBERT_BITS) - 1) / extent : 0;
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      long key = hilbertIndex((int) ((points[i].getX() - minX) * scale), (int) ((points[i].getY() - minY) * scale));
+      keys[i] = key << 32 | i;
+    }
+    Arrays.sort(keys);
+
+    //round 0 is inserted last and receives each point with probability 1/2, round 1 with 1/4, and so on
+    int rounds = 1;
+    while (count >> rounds >= MIN_ROUND)
+      rounds++;
+    Random random = new Random(SEED);
+    byte[] round = new byte[count];
+    int[] start = new int[rounds + 1];
+    for (int i = 0; i < count; i++) {
+      round[i] = (byte) Math.min(Integer.numberOfTrailingZeros(random.nextInt()), rounds - 1);
+      start[round[i]]++;
+    }
+    for (int r = rounds - 1, total = 0; r >= 0; r--) {
+      int size = start[r];
+      start[r] = total;
+      total += size;
+    }
+    int[] order = new int[count];
+    for (int i = 0; i < count; i++)
+      order[start[round[i]]++] = (int) keys[i];
+    return order;
+  }
+
+  /**
+   * Method returns the position of a grid cell along a Hilbert curve covering the grid
+   * @param x - the column of the cell
+   * @param y - the row of the cell
+   * @return the number of cells the curve visits before the given cell
+   */
+  private static int hilbertIndex(int x, int y) {
+    int n = 1 << HILBERT_BITS;
+    int d = 0;
+    for (int s = n / 2; s > 0; s /= 2) {
+      int rx = (x & s) > 0 ? 1 : 0;
+      int ry = (y & s) > 0 ? 1 : 0;
+      d += s * s * ((3 * rx) ^ ry);
+      if (ry == 0) {
+        if (rx == 1) {
+          x = n - 1 - x;
+          y = n - 1 - y;
+        }
+        int swap = x;
+        x = y;
+        y = swap;
+      }
+    }
+    return d;
+  }
+
+  /**
+   * Method returns the orientation of three vertices, falling back to exact arithmetic when the floating-point
+   * result is too close to zero to trust
+   * @param a - the index of the first vertex
+   * @param b - the index of the second vertex
+   * @param c - the index of the third vertex
+   * @return 1 if the vertices turn counterclockwise, -1 if clockwise, and 0 if they are collinear
+   */
+  private int orient(int a, int b, int c) {
+    double ax = coords[2 * a], ay = coords[2 * a + 1];
+    double bx = coords[2 * b], by = coords[2 * b + 1];
+    double cx = coords[2 * c], cy = coords[2 * c + 1];
+    double left = (ax - cx) * (by - cy);
+    double right = (ay - cy) * (bx - cx);
+    double det = left - right;
+    double bound = ORIENT_BOUND * (Math.abs(left) + Math.abs(right));
+    if (det > bound)
+      return 1;
+    else if (-det > bound)
+      return -1;
+    BigDecimal acx = exact(ax).subtract(exact(cx));
+    BigDecimal bcx = exact(bx).subtract(exact(cx));
+    BigDecimal acy = exact(ay).subtract(exact(cy));
+    BigDecimal bcy = exact(by).subtract(exact(cy));
+    return acx.multiply(bcy).subtract(acy.multiply(bcx)).signum();
+  }
+
+  /**
+   * Method returns whether a vertex lies inside the circumcircle of three others, falling back to exact
+   * arithmetic when the floating-point result is too close to zero to trust
+   * @param a - the index of the first vertex of a counterclockwise triangle
+   * @param b - the index of the second vertex
+   * @param c - the index of the third vertex
+   * @param d - the index of the vertex to test
+   * @return 1 if the vertex lies inside the circumcircle, -1 if outside, and 0 if on it
+   */
+  private int incircle(int a, int b, int c, int d) {
+    double dx = coords[2 * d], dy = coords[2 * d + 1];
+    double adx = coords[2 * a] - dx, ady = coords[2 * a + 1] - dy;
+    double bdx = coords[2 * b] - dx, bdy = coords[2 * b + 1] - dy;
+    double cdx = coords[2 * c] - dx, cdy = coords[2 * c + 1] - dy;
+    double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+    double cdxady = cdx * ady, adxcdy = adx * cdy;
+    double adxbdy = adx * bdy, bdxady = bdx * ady;
+    double alift = adx * adx + ady * ady;
+    double blift = bdx * bdx + bdy * bdy;
+    double clift = cdx * cdx + cdy * cdy;
+    double det = alift * (bdxcdy - cdxbdy) + blift * (cdxady - adxcdy) + clift * (adxbdy - bdxady);
+    double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * alift +
+      (Math.abs(cdxady) + Math.abs(adxcdy)) * blift +
+      (Math.abs(adxbdy) + Math.abs(bdxady)) * clift;
+    double bound = INCIRCLE_BOUND * permanent;
+    if (det > bound)
+      return 1;
+    else if (-det > bound)
+      return -1;
+    BigDecimal ex = exact(dx), ey = exact(dy);
+    BigDecimal eadx = exact(coords[2 * a]).subtract(ex), eady = exact(coords[2 * a + 1]).subtract(ey);
+    BigDecimal ebdx = exact(coords[2 * b]).subtract(ex), ebdy = exact(coords[2 * b + 1]).subtract(ey);
+    BigDecimal ecdx = exact(coords[2 * c]).subtract(ex), ecdy = exact(coords[2 * c + 1]).subtract(ey);
+    BigDecimal ealift = eadx.multiply(eadx).add(eady.multiply(eady));
+    BigDecimal eblift = ebdx.multiply(ebdx).add(ebdy.multiply(ebdy));
+    BigDecimal eclift = ecdx.multiply(ecdx).add(ecdy.multiply(ecdy));
+    return ealift.multiply(ebdx.multiply(ecdy).subtract(ecdx.multiply(ebdy)))
+      .add(eblift.multiply(ecdx.multiply(eady).subtract(eadx.multiply(ecdy))))
+      .add(eclift.multiply(eadx.multiply(ebdy).subtract(ebdx.multiply(eady)))).signum();
+  }
+
+  /**
+   * Method converts a double to a BigDecimal without rounding
+   * @param value - the double to convert
+   * @return a BigDecimal equal to the input
+   */
+  private static BigDecimal exact(double value) {
+    return new BigDecimal(value);
+  }
+
+  /**
+   * Method returns whether two vertices have identical coordinates
+   * @param a - the index of the first vertex
+   * @param b - the index of the second vertex
+   * @return true if the vertices coincide and false elsewise
+   */
+  private boolean coincide(int a, int b) {
+    return coords[2 * a] == coords[2 * b] && coords[2 * a + 1] == coords[2 * b + 1];
+  }
+
+  /**
+   * Method returns whether a triangle has the vertex at infinity as a corner
+   * @param t - the triangle under consideration
+   * @return true if the triangle lies outside the convex hull and false elsewise
+   */
+  private boolean isGhost(int t) {
+    return origin[3 * t] == INFINITE || origin[3 * t + 1] == INFINITE || origin[3 * t + 2] == INFINITE;
+  }
+
+  /**
+   * Method returns which edge of a ghost triangle lies on the convex hull
+   * @param t - the ghost triangle under consideration
+   * @return the position, from 0 to 2, of the half-edge that avoids the vertex at infinity
+   */
+  private int finiteEdge(int t) {
+    if (origin[3 * t] == INFINITE)
+      return 1;
+    else if (origin[3 * t + 1] == INFINITE)
+      return 2;
+    else
+      return 0;
+  }
+
+  /**
+   * Method returns the half-edge following a given half-edge around its triangle
+   * @param e - the half-edge under consideration
+   * @return the next half-edge counterclockwise within the same triangle
+   */
+  private static int next(int e) {
+    return e % 3 == 2 ? e - 2 : e + 1;
+  }
+
+  /**
+   * Method returns whether a triangle belongs to the cavity being retriangulated
+   * @param t - the triangle under consideration
+   * @return whether the triangle's cavity bit is set
+   */
+  private boolean isMarked(int t) {
+    return (inCavity[t >>> 6] & (1L << t)) != 0;
+  }
+
+  /**
+   * Method adds a triangle to the cavity being retriangulated
+   * @param t - the triangle to mark
+   */
+  private void mark(int t) {
+    inCavity[t >>> 6] |= 1L << t;
+  }
+
+  /**
+   * Method clears a triangle's cavity bit once the cavity has been recorded
+   * @param t - the triangle to unmark
+   */
+  private void unmark(int t) {
+    inCavity[t >>> 6] &= ~(1L << t);
+  }
+
+  /**
+   * Method doubles the capacity of the cavity boundary arrays
+   */
+  private void growBoundary() {
+    boundary = Arrays.copyOf(boundary, 2 * boundary.length);
+    boundaryStart = Arrays.copyOf(boundaryStart, boundary.length);
+    boundaryEnd = Arrays.copyOf(boundaryEnd, boundary.length);
+  }
+
+  /**
+   * Method grows the per-vertex arrays to hold at least the given number of vertices
+   * @param capacity - the number of vertices required
+   */
+  private void ensureVertexCapacity(int capacity) {
+    if (2 * capacity <= coords.length)
+      return;
+    int grown = Math.max(capacity, coords.length);
+    coords = Arrays.copyOf(coords, 2 * grown);
+    label = Arrays.copyOf(label, grown);
+    position = Arrays.copyOf(position, grown);
+    int known = vertexTriangle.length;
+    vertexTriangle = Arrays.copyOf(vertexTriangle, grown);
+    Arrays.fill(vertexTriangle, known, grown, -1);
+    fan = Arrays.copyOf(fan, grown + 1);
+  }
+
+  /**
+   * Method grows the per-triangle arrays to hold at least the given number of triangles
+   * @param capacity - the number of triangles required
+   */
+  private void ensureTriangleCapacity(int capacity) {
+    if (3 * capacity <= origin.length)
+      return;
+    int grown = Math.max(capacity, 2 * origin.length / 3);
+    origin = Arrays.copyOf(origin, 3 * grown);
+    twin = Arrays.copyOf(twin, 3 * grown);
+    inCavity = Arrays.copyOf(inCavity, (grown + 63) / 64);
+  }
+
+  /**
+   * Method returns the finite triangles in a canonical order, each rotated to start at its smallest vertex index
+   * @return an array of vertex index triplets sorted lexicographically
+   */
+  private int[][] canonicalTriangles() {
+    int[] flat = getTriangles();
+    int[][] triangles = new int[flat.length / 3][];
+    for (int i = 0; i < triangles.length; i++) {
+      int a = flat[3 * i], b = flat[3 * i + 1], c = flat[3 * i + 2];
+      if (a < b && a < c)
+        triangles[i] = new int[] {a, b, c};
+      else if (b < c)
+        triangles[i] = new int[] {b, c, a};
+      else
+        triangles[i] = new int[] {c, a, b};
+    }
+    Arrays.sort(triangles, Comparator.<int[]>comparingInt(t -> t[0]).thenComparingInt(t -> t[1])
+                  .thenComparingInt(t -> t[2]));
+    return triangles;
+  }
+
+  /**
+   * Method overrides Object's inadequate equals method
+   * @param obj - the Object to compare to the calling DelaunayTriangulation
+   * @return whether the input Object is a DelaunayTriangulation with the same vertices and triangles
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof DelaunayTriangulation) {
+      DelaunayTriangulation d = (DelaunayTriangulation) obj;
+      if (vertexCount != d.vertexCount)
+        return false;
+      for (int i = 0; i < vertexCount; i++)
+        if (!getVertex(i).equals(d.getVertex(i)))
+          return false;
+      return Arrays.deepEquals(canonicalTriangles(), d.canonicalTriangles());
+    }
+    else
+      return false;
+  }
+
+  /**
+   * Method overrides Object's inadequate toString method
+   * @return a summary of the triangulation's size
+   */
+  @Override
+  public String toString() {
+    return "Delaunay triangulation of " + vertexCount + " vertices in " + getTriangleCount() + " triangles";
+  }
+}
@@ -0,0 +1,504 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Class models a simple closed polygon in two-dimensional space, indexed by a uniform grid for fast containment
+ * tests
+ * @author James Talbott
+ */
+public class Polygon2D extends PlanarObject {
+
+  /**
+   * Constant stores the number of grid cells built per polygon edge
+   */
+  private static final double CELLS_PER_EDGE = 2.0;
+
+  /**
+   * Constant stores the number of candidate reference points tried per cell before giving up
+   */
+  private static final int REFERENCE_ATTEMPTS = 64;
+
+  /**
+   * Field stores the x-coordinate of each vertex; edge i runs from vertex i to vertex i + 1, wrapping around
+   */
+  private double[] xs;
+
+  /**
+   * Field stores the y-coordinate of each vertex
+   */
+  private double[] ys;
+
+  /**
+   * Field stores the lower x bound of the Polygon2D and its grid
+   */
+  private double minX;
+
+  /**
+   * Field stores the lower y bound of the Polygon2D and its grid
+   */
+  private double minY;
+
+  /**
+   * Field stores the upper x bound of the Polygon2D
+   */
+  private double maxX;
+
+  /**
+   * Field stores the upper y bound of the Polygon2D
+   */
+  private double maxY;
+
+  /**
+   * Field stores the width of a grid cell
+   */
+  private double cellWidth;
+
+  /**
+   * Field stores the height of a grid cell
+   */
+  private double cellHeight;
+
+  /**
+   * Field stores the number of grid columns
+   */
+  private int columns;
+
+  /**
+   * Field stores the number of grid rows
+   */
+  private int rows;
+
+  /**
+   * Field stores where each cell's edges begin in cellEdges, with one extra entry marking the end of the last
+   */
+  private int[] cellStart;
+
+  /**
+   * Field stores the indices of the edges passing through each cell, cell by cell
+   */
+  private int[] cellEdges;
+
+  /**
+   * Field stores the x-coordinate of each cell's reference point, a point inside the cell on no edge
+   */
+  private double[] referenceX;
+
+  /**
+   * Field stores the y-coordinate of each cell's reference point
+   */
+  private double[] referenceY;
+
+  /**
+   * Field stores whether each cell's reference point lies inside the Polygon2D
+   */
+  private boolean[] referenceInside;
+
+  /**
+   * Constructor initializes a Polygon2D from its vertices in order around the boundary
+   * @param vertices - the corners of the Polygon2D; repeating the first vertex at the end is optional
+   * @throws IllegalArgumentException if there are fewer than three vertices or any coordinate is NaN or infinite
+   */
+  public Polygon2D(Point2D[] vertices) {
+    int n = vertices.length;
+    if (n > 1 && vertices[0].equals(vertices[n - 1]))
+      n--;
+    if (n < 3)
+      throw new IllegalArgumentException("A Polygon2D needs at least three vertices");
+    for (int i = 0; i < n; i++)
+      if (!Double.isFinite(vertices[i].getX()) || !Double.isFinite(vertices[i].getY()))
+        throw new IllegalArgumentException("Vertex " + i + " of a Polygon2D must be finite, not " + vertices[i]);
+    xs = new double[n];
+    ys = new double[n];
+    for (int i = 0; i < n; i++) {
+      xs[i] = vertices[i].getX();
+      ys[i] = vertices[i].getY();
+    }
+    buildIndex();
+  }
+
+  /**
+   * Constructor initializes a Polygon2D from its edges in order around the boundary
+   * @param edges - Line2Ds each anchored at the Point2D where the edge starts, whose direction reaches the start
+   * of the next Line2D, with the last Line2D returning to the first
+   * @throws IllegalArgumentException if any Line2D does not end where the next one starts
+   */
+  public Polygon2D(Line2D[] edges) {
+    this(startPoints(edges));
+  }
+
+  /**
+   * Method collects the anchor Point2D of each Line2D after checking that the Line2Ds join into a closed ring
+   * @param edges - the Line2Ds under consideration
+   * @return the Point2D each Line2D was initialized from
+   */
+  private static Point2D[] startPoints(Line2D[] edges) {
+    Point2D[] points = new Point2D[edges.length];
+    for (int i = 0; i < edges.length; i++) {
+      Line2D edge = edges[i];
+      Line2D next = edges[(i + 1) % edges.length];
+      double endX = edge.getPoint().getX() + edge.getXStep();
+      double endY = edge.getPoint().getY() + edge.getYStep();
+      if (!meets(endX, next.getPoint().getX(), edge.getPoint().getX()) ||
+          !meets(endY, next.getPoint().getY(), edge.getPoint().getY()))
+        throw new IllegalArgumentException("Edge " + i + " ends at " + new Point2D(endX, endY) +
+                                           " but the next edge starts at " + next.getPoint());
+      points[i] = new Point2D(edge.getPoint().getX(), edge.getPoint().getY());
+    }
+    return points;
+  }
+
+  /**
+   * Method returns whether an edge's computed end coordinate matches the next edge's start coordinate, allowing
+   * for the rounding in storing the edge as a start point plus a step
+   * @param end - the start coordinate plus the step
+   * @param next - the next edge's start coordinate
+   * @param start - the edge's start coordinate
+   * @return true if the coordinates agree to within two units in the last place and false elsewise
+   */
+  private static boolean meets(double end, double next, double start) {
+    double scale = Math.max(Math.abs(start), Math.max(Math.abs(end), Math.abs(next)));
+    return Math.abs(end - next) <= 2 * Math.ulp(scale);
+  }
+
+  /**
+   * Method returns the number of vertices, which equals the number of edges
+   * @return the number of corners of the Polygon2D
+   */
+  public int getVertexCount() {
+    return xs.length;
+  }
+
+  /**
+   * Method returns a vertex of the Polygon2D
+   * @param i - the index of the vertex
+   * @return the Point2D at the given corner
+   */
+  public Point2D getVertex(int i) {
+    return new Point2D(xs[i], ys[i]);
+  }
+
+  /**
+   * Method returns an edge of the Polygon2D
+   * @param i - the index of the edge
+   * @return a Line2D through vertex i and the vertex after it
+   */
+  public Line2D getEdge(int i) {
+    return new Line2D(getVertex(i), getVertex((i + 1) % xs.length));
+  }
+
+  /**
+   * Method returns whether a Point2D lies inside the Polygon2D. Points exactly on the boundary may be reported
+   * either way.
+   * @param p - the Point2D under consideration
+   * @return true if the Point2D is inside and false elsewise
+   */
+  public boolean contains(Point2D p) {
+    return contains(p.getX(), p.getY());
+  }
+
+  /**
+   * Method tests an array of Point2Ds for containment one after another
+   * @param points - the Point2Ds under consideration
+   * @return an array holding, for each Point2D, whether it lies inside the Polygon2D
+   */
+  public boolean[] containsAll(Point2D[] points) {
+    boolean[] inside = new boolean[points.length];
+    for (int i = 0; i < points.length; i++)
+      inside[i] = contains(points[i]);
+    return inside;
+  }
+
+  /**
+   * Method tests an array of Point2Ds for containment, spreading the work across the common fork-join pool
+   * @param points - the Point2Ds under consideration
+   * @return an array holding, for each Point2D, whether it lies inside the Polygon2D
+   */
+  public boolean[] containsAllParallel(Point2D[] points) {
+    boolean[] inside = new boolean[points.length];
+    IntStream.range(0, points.length).parallel().forEach(i -> inside[i] = contains(points[i]));
+    return inside;
+  }
+
+  /**
+   * Method returns whether a coordinate pair lies inside the Polygon2D by counting the edges crossed on the way
+   * to its cell's reference point
+   * @param x - the x-coordinate under consideration
+   * @param y - the y-coordinate under consideration
+   * @return true if the coordinates are inside and false elsewise
+   */
+  boolean contains(double x, double y) {
+    if (!(x >= minX && x <= maxX && y >= minY && y <= maxY))
+      return false;
+    int cell = row(y) * columns + column(x);
+    double rx = referenceX[cell];
+    double ry = referenceY[cell];
+    boolean inside = referenceInside[cell];
+    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++)
+      if (crosses(x, y, rx, ry, cellEdges[k]))
+        inside = !inside;
+    return inside;
+  }
+
+  /**
+   * Method returns the lower x bound of the Polygon2D
+   * @return the smallest vertex x-coordinate
+   */
+  double getMinX() {
+    return minX;
+  }
+
+  /**
+   * Method returns the lower y bound of the Polygon2D
+   * @return the smallest vertex y-coordinate
+   */
+  double getMinY() {
+    return minY;
+  }
+
+  /**
+   * Method returns the upper x bound of the Polygon2D
+   * @return the largest vertex x-coordinate
+   */
+  double getMaxX() {
+    return maxX;
+  }
+
+  /**
+   * Method returns the upper y bound of the Polygon2D
+   * @return the largest vertex y-coordinate
+   */
+  double getMaxY() {
+    return maxY;
+  }
+
+  /**
+   * Method sizes the grid, files every edge under each cell it passes through, and settles each cell's
+   * reference point
+   */
+  private void buildIndex() {
+    int n = xs.length;
+    minX = maxX = xs[0];
+    minY = maxY = ys[0];
+    for (int i = 1; i < n; i++) {
+      minX = Math.min(minX, xs[i]);
+      maxX = Math.max(maxX, xs[i]);
+      minY = Math.min(minY, ys[i]);
+      maxY = Math.max(maxY, ys[i]);
+    }
+    double width = maxX - minX;
+    double height = maxY - minY;
+    //aim for square cells, falling back to a single row or column when the Polygon2D has no area
+    double side = Math.sqrt(width * height / (CELLS_PER_EDGE * n));
+    if (side > 0) {
+      columns = (int) Math.min(Math.ceil(width / side), n * CELLS_PER_EDGE);
+      rows = (int) Math.min(Math.ceil(height / side), n * CELLS_PER_EDGE);
+    }
+    else {
+      columns = width > 0 ? (int) (n * CELLS_PER_EDGE) : 1;
+      rows = height > 0 ? (int) (n * CELLS_PER_EDGE) : 1;
+    }
+    cellWidth = width > 0 ? width / columns : 1;
+    cellHeight = height > 0 ? height / rows : 1;
+
+    int cells = rows * columns;
+    cellStart = new int[cells + 1];
+    for (int e = 0; e < n; e++)
+      fileEdge(e, null);
+    for (int c = 0; c < cells; c++)
+      cellStart[c + 1] += cellStart[c];
+    cellEdges = new int[cellStart[cells]];
+    int[] cursor = Arrays.copyOf(cellStart, cells);
+    for (int e = 0; e < n; e++)
+      fileEdge(e, cursor);
+
+    referenceX = new double[cells];
+    referenceY = new double[cells];
+    referenceInside = new boolean[cells];
+    for (int c = 0; c < cells; c++)
+      placeReference(c);
+    //walk each row from a point left of the Polygon2D, which is outside, through consecutive reference points
+    int[] seen = new int[n];
+    int stamp = 0;
+    for (int r = 0; r < rows; r++) {
+      int first = r * columns;
+      boolean inside = false;
+      double fromX = minX - cellWidth;
+      double fromY = referenceY[first];
+      for (int c = first; c < first + columns; c++) {
+        stamp++;
+        for (int prev = Math.max(c - 1, first); prev <= c; prev++) {
+          for (int k = cellStart[prev]; k < cellStart[prev + 1]; k++) {
+            int e = cellEdges[k];
+            if (seen[e] == stamp)
+              continue;
+            seen[e] = stamp;
+            if (crosses(fromX, fromY, referenceX[c], referenceY[c], e))
+              inside = !inside;
+          }
+        }
+        referenceInside[c] = inside;
+        fromX = referenceX[c];
+        fromY = referenceY[c];
+      }
+    }
+  }
+
+  /**
+   * Method visits every cell an edge passes through, padding the edge slightly so that rounding cannot leave out
+   * a cell it touches
+   * @param e - the index of the edge
+   * @param cursor - the next free slot of each cell in cellEdges, or null to only count the cells' edges
+   */
+  private void fileEdge(int e, int[] cursor) {
+    double ax = xs[e], ay = ys[e];
+    double bx = xs[(e + 1) % xs.length], by = ys[(e + 1) % xs.length];
+    double pad = 1e-9 * Math.max(cellWidth, cellHeight) +
+      8 * Math.ulp(Math.max(Math.max(Math.abs(minX), Math.abs(maxX)), Math.max(Math.abs(minY), Math.abs(maxY))));
+    double lowY = Math.min(ay, by);
+    double highY = Math.max(ay, by);
+    int lastRow = row(highY + pad);
+    for (int r = row(lowY - pad); r <= lastRow; r++) {
+      //clip the edge to this row's band and find the x-range of what remains
+      double bandLow = Math.max(lowY, minY + r * cellHeight);
+      double bandHigh = Math.min(highY, minY + (r + 1) * cellHeight);
+      double x1, x2;
+      if (ay == by || bandLow > bandHigh) {
+        x1 = Math.min(ax, bx);
+        x2 = Math.max(ax, bx);
+      }
+      else {
+        x1 = ax + (bandLow - ay) * (bx - ax) / (by - ay);
+        x2 = ax + (bandHigh - ay) * (bx - ax) / (by - ay);
+      }
+      int lastColumn = column(Math.max(x1, x2) + pad);
+      for (int c = column(Math.min(x1, x2) - pad); c <= lastColumn; c++) {
+        int cell = r * columns + c;
+        if (cursor == null)
+          cellStart[cell + 1]++;
+        else
+          cellEdges[cursor[cell]++] = e;
+      }
+    }
+  }
+
+  /**
+   * Method picks a point inside a cell that lies on none of the cell's edges, trying the center first
+   * @param cell - the cell under consideration
+   */
+  private void placeReference(int cell) {
+    double left = minX + (cell % columns) * cellWidth;
+    double bottom = minY + (cell / columns) * cellHeight;
+    double fx = 0.5;
+    double fy = 0.5;
+    for (int attempt = 0; attempt < REFERENCE_ATTEMPTS; attempt++) {
+      double x = left + fx * cellWidth;
+      double y = bottom + fy * cellHeight;
+      boolean onEdge = false;
+      for (int k = cellStart[cell]; k < cellStart[cell + 1] && !onEdge; k++)
+        onEdge = onEdge(x, y, cellEdges[k]);
+      if (!onEdge) {
+        referenceX[cell] = x;
+        referenceY[cell] = y;
+        return;
+      }
+      //step through the cell along a low-discrepancy sequence
+      fx = (fx + 0.6180339887498949) % 1.0;
+      fy = (fy + 0.7548776662466927) % 1.0;
+    }
+    throw new IllegalStateException("No reference point found off the edges of cell " + cell);
+  }
+
+  /**
+   * Method returns whether the segment between two points crosses an edge. A vertex lying on the line through
+   * the segment counts as being on its left, so a path through a vertex is counted once across both edges
+   * sharing it.
+   * @param qx - the x-coordinate of the first point
+   * @param qy - the y-coordinate of the first point
+   * @param rx - the x-coordinate of the second point, which must not lie on the boundary
+   * @param ry - the y-coordinate of the second point
+   * @param e - the index of the edge
+   * @return true if the segment crosses the edge and false elsewise
+   */
+  private boolean crosses(double qx, double qy, double rx, double ry, int e) {
+    double ax = xs[e], ay = ys[e];
+    double bx = xs[(e + 1) % xs.length], by = ys[(e + 1) % xs.length];
+    if ((orient(qx, qy, rx, ry, ax, ay) >= 0) == (orient(qx, qy, rx, ry, bx, by) >= 0))
+      return false;
+    double q = orient(ax, ay, bx, by, qx, qy);
+    double r = orient(ax, ay, bx, by, rx, ry);
+    return (q > 0 && r < 0) || (q < 0 && r > 0);
+  }
+
+  /**
+   * Method returns whether a point lies on an edge
+   * @param x - the x-coordinate of the point
+   * @param y - the y-coordinate of the point
+   * @param e - the index of the edge
+   * @return true if the point is on the edge and false elsewise
+   */
+  private boolean onEdge(double x, double y, int e) {
+    double ax = xs[e], ay = ys[e];
+    double bx = xs[(e + 1) % xs.length], by = ys[(e + 1) % xs.length];
+    return orient(ax, ay, bx, by, x, y) == 0 && x >= Math.min(ax, bx) && x <= Math.max(ax, bx) &&
+      y >= Math.min(ay, by) && y <= Math.max(ay, by);
+  }
+
+  /**
+   * Method returns twice the signed area of the triangle formed by three points
+   * @param ax - the x-coordinate of the first point
+   * @param ay - the y-coordinate of the first point
+   * @param bx - the x-coordinate of the second point
+   * @param by - the y-coordinate of the second point
+   * @param cx - the x-coordinate of the third point
+   * @param cy - the y-coordinate of the third point
+   * @return a positive value if the points turn counterclockwise, negative if clockwise, and zero if collinear
+   */
+  private static double orient(double ax, double ay, double bx, double by, double cx, double cy) {
+    return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+  }
+
+  /**
+   * Method returns the grid column holding an x-coordinate, clamped to the grid
+   * @param x - the x-coordinate under consideration
+   * @return the column index
+   */
+  private int column(double x) {
+    return Math.max(0, Math.min(columns - 1, (int) ((x - minX) / cellWidth)));
+  }
+
+  /**
+   * Method returns the grid row holding a y-coordinate, clamped to the grid
+   * @param y - the y-coordinate under consideration
+   * @return the row index
+   */
+  private int row(double y) {
+    return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellHeight)));
+  }
+
+  /**
+   * Method overrides Object's inadequate equals method
+   * @param obj - the Object to compare to the calling Polygon2D
+   * @return whether the input Object is a Polygon2D with the same vertices in the same order
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof Polygon2D) {
+      Polygon2D p = (Polygon2D) obj;
+      return Arrays.equals(xs, p.xs) && Arrays.equals(ys, p.ys);
+    }
+    else
+      return false;
+  }
+
+  /**
+   * Method overrides Object's inadequate toString method
+   * @return the Polygon2D's vertices in order
+   */
+  @Override
+  public String toString() {
+    StringBuilder s = new StringBuilder("[");
+    for (int i = 0; i < xs.length; i++)
+      s.append(i > 0 ? ", " : "").append(getVertex(i));
+    return s.append("]").toString();
+  }
+}
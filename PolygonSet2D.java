@@ -0,0 +1,239 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Class models a collection of Polygon2Ds, indexed by a uniform grid over their bounding boxes so that each
+ * Point2D is tested only against the Polygon2Ds near it
+ * @author James Talbott
+ */
+public class PolygonSet2D extends PlanarObject {
+
+  /**
+   * Field stores the Polygon2Ds in the order they were given
+   */
+  private Polygon2D[] polygons;
+
+  /**
+   * Field stores the lower x bound of the grid
+   */
+  private double minX;
+
+  /**
+   * Field stores the lower y bound of the grid
+   */
+  private double minY;
+
+  /**
+   * Field stores the upper x bound of the grid
+   */
+  private double maxX;
+
+  /**
+   * Field stores the upper y bound of the grid
+   */
+  private double maxY;
+
+  /**
+   * Field stores the width of a grid cell
+   */
+  private double cellWidth;
+
+  /**
+   * Field stores the height of a grid cell
+   */
+  private double cellHeight;
+
+  /**
+   * Field stores the number of grid columns
+   */
+  private int columns;
+
+  /**
+   * Field stores the number of grid rows
+   */
+  private int rows;
+
+  /**
+   * Field stores where each cell's Polygon2Ds begin in cellPolygons, with one extra entry marking the end of the
+   * last
+   */
+  private int[] cellStart;
+
+  /**
+   * Field stores, cell by cell and in ascending order, the indices of the Polygon2Ds whose bounding boxes
+   * overlap each cell
+   */
+  private int[] cellPolygons;
+
+  /**
+   * Constructor initializes a PolygonSet2D over the given Polygon2Ds
+   * @param polygons - the Polygon2Ds to index
+   */
+  public PolygonSet2D(Polygon2D[] polygons) {
+    if (polygons.length == 0)
+      throw new IllegalArgumentException("A PolygonSet2D needs at least one Polygon2D");
+    this.polygons = polygons.clone();
+    buildIndex();
+  }
+
+  /**
+   * Method returns the number of Polygon2Ds in the set
+   * @return the number of indexed Polygon2Ds
+   */
+  public int size() {
+    return polygons.length;
+  }
+
+  /**
+   * Method returns a Polygon2D from the set
+   * @param i - the index of the Polygon2D
+   * @return the Polygon2D at the given index
+   */
+  public Polygon2D getPolygon(int i) {
+    return polygons[i];
+  }
+
+  /**
+   * Method returns which Polygon2D contains a Point2D
+   * @param p - the Point2D under consideration
+   * @return the lowest index of a Polygon2D containing the Point2D, or -1 if none does
+   */
+  public int locate(Point2D p) {
+    double x = p.getX();
+    double y = p.getY();
+    if (!(x >= minX && x <= maxX && y >= minY && y <= maxY))
+      return -1;
+    int cell = row(y) * columns + column(x);
+    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++)
+      if (polygons[cellPolygons[k]].contains(x, y))
+        return cellPolygons[k];
+    return -1;
+  }
+
+  /**
+   * Method locates an array of Point2Ds one after another
+   * @param points - the Point2Ds under consideration
+   * @return an array holding, for each Point2D, the index of the Polygon2D containing it or -1
+   */
+  public int[] locateAll(Point2D[] points) {
+    int[] found = new int[points.length];
+    for (int i = 0; i < points.length; i++)
+      found[i] = locate(points[i]);
+    return found;
+  }
+
+  /**
+   * Method locates an array of Point2Ds, spreading the work across the common fork-join pool
+   * @param points - the Point2Ds under consideration
+   * @return an array holding, for each Point2D, the index of the Polygon2D containing it or -1
+   */
+  public int[] locateAllParallel(Point2D[] points) {
+    int[] found = new int[points.length];
+    IntStream.range(0, points.length).parallel().forEach(i -> found[i] = locate(points[i]));
+    return found;
+  }
+
+  /**
+   * Method sizes the grid to hold about one cell per Polygon2D and files each Polygon2D under every cell its
+   * bounding box overlaps
+   */
+  private void buildIndex() {
+    int n = polygons.length;
+    minX = minY = Double.POSITIVE_INFINITY;
+    maxX = maxY = Double.NEGATIVE_INFINITY;
+    for (Polygon2D polygon : polygons) {
+      minX = Math.min(minX, polygon.getMinX());
+      minY = Math.min(minY, polygon.getMinY());
+      maxX = Math.max(maxX, polygon.getMaxX());
+      maxY = Math.max(maxY, polygon.getMaxY());
+    }
+    double width = maxX - minX;
+    double height = maxY - minY;
+    double side = Math.sqrt(width * height / n);
+    if (side > 0) {
+      columns = (int) Math.min(Math.ceil(width / side), n);
+      rows = (int) Math.min(Math.ceil(height / side), n);
+    }
+    else {
+      columns = width > 0 ? n : 1;
+      rows = height > 0 ? n : 1;
+    }
+    cellWidth = width > 0 ? width / columns : 1;
+    cellHeight = height > 0 ? height / rows : 1;
+
+    int cells = rows * columns;
+    cellStart = new int[cells + 1];
+    for (int i = 0; i < n; i++)
+      filePolygon(i, null);
+    for (int c = 0; c < cells; c++)
+      cellStart[c + 1] += cellStart[c];
+    cellPolygons = new int[cellStart[cells]];
+    int[] cursor = Arrays.copyOf(cellStart, cells);
+    for (int i = 0; i < n; i++)
+      filePolygon(i, cursor);
+  }
+
+  /**
+   * Method visits every cell a Polygon2D's bounding box overlaps
+   * @param i - the index of the Polygon2D
+   * @param cursor - the next free slot of each cell in cellPolygons, or null to only count the cells' Polygon2Ds
+   */
+  private void filePolygon(int i, int[] cursor) {
+    int lastRow = row(polygons[i].getMaxY());
+    int lastColumn = column(polygons[i].getMaxX());
+    for (int r = row(polygons[i].getMinY()); r <= lastRow; r++) {
+      for (int c = column(polygons[i].getMinX()); c <= lastColumn; c++) {
+        int cell = r * columns + c;
+        if (cursor == null)
+          cellStart[cell + 1]++;
+        else
+          cellPolygons[cursor[cell]++] = i;
+      }
+    }
+  }
+
+  /**
+   * Method returns the grid column holding an x-coordinate, clamped to the grid
+   * @param x - the x-coordinate under consideration
+   * @return the column index
+   */
+  private int column(double x) {
+    return Math.max(0, Math.min(columns - 1, (int) ((x - minX) / cellWidth)));
+  }
+
+  /**
+   * Method returns the grid row holding a y-coordinate, clamped to the grid
+   * @param y - the y-coordinate under consideration
+   * @return the row index
+   */
+  private int row(double y) {
+    return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellHeight)));
+  }
+
+  /**
+   * Method overrides Object's inadequate equals method
+   * @param obj - the Object to compare to the calling PolygonSet2D
+   * @return whether the input Object is a PolygonSet2D holding equal Polygon2Ds in the same order
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof PolygonSet2D) {
+      PolygonSet2D s = (PolygonSet2D) obj;
+      return Arrays.equals(polygons, s.polygons);
+    }
+    else
+      return false;
+  }
+
+  /**
+   * Method overrides Object's inadequate toString method
+   * @return the PolygonSet2D's Polygon2Ds, one per line
+   */
+  @Override
+  public String toString() {
+    StringBuilder s = new StringBuilder();
+    for (int i = 0; i < polygons.length; i++)
+      s.append(i > 0 ? "\n" : "").append(polygons[i]);
+    return s.toString();
+  }
+}